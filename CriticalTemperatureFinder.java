@@ -1,4 +1,12 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.atomic.AtomicLong;
 /* Question no. 1(a):
 This program determines the minimum number of measurements required to find the critical temperature at which a sample fails.
  It uses dynamic programming to efficiently compute the optimal strategy. 
@@ -11,6 +19,9 @@ This program determines the minimum number of measurements required to find the
  The worst-case value is minimized across all possible test points. 
  Finally, the result stored in dp[k][n] gives the optimal number of measurements required. 
  This ensures an efficient strategy rather than a brute-force approach of testing each level sequentially.
+ For very large n, findMinMeasurementsByReach computes how many levels m measurements can cover
+ and increases m until all n levels are covered, using only O(k) memory.
+ MeasurementPlan tells the operator which level to test next and can replay a session of pass/fail outcomes.
  */
 
 public class CriticalTemperatureFinder {
@@ -44,6 +55,344 @@ public class CriticalTemperatureFinder {
         return dp[k][n]; // The result is in dp[k][n]
     }
 
+    // Builds the same full dp[k + 1][n + 1] table as findMinMeasurements in O(k * n) time.
+    // For a fixed number of samples, the best level to test never moves down as j grows:
+    // dp[i - 1][x - 1] grows with x while dp[i][j - x] shrinks with x, and both only grow with j.
+    // So each row keeps one pointer x that only moves forward instead of trying every x again.
+    public static int[][] buildMeasurementTable(int k, int n) {
+        int[][] dp = new int[k + 1][n + 1];
+        if (k >= 1) fillFirstRow(dp[1]);
+        for (int i = 2; i <= k; i++) {
+            fillRow(dp[i - 1], dp[i]);
+        }
+        return dp;
+    }
+
+    // Same answer as findMinMeasurements, keeping only the previous and current rows of the table
+    public static int findMinMeasurementsTwoRows(int k, int n) {
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        fillFirstRow(current);
+        for (int i = 2; i <= k; i++) {
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+            fillRow(previous, current);
+        }
+        return current[n];
+    }
+
+    // 1 sample needs j measurements for j temperature levels
+    private static void fillFirstRow(int[] row) {
+        for (int j = 0; j < row.length; j++) {
+            row[j] = j;
+        }
+    }
+
+    // Fills the row for i samples from the row for i - 1 samples using a forward-only split pointer
+    private static void fillRow(int[] previous, int[] current) {
+        current[0] = 0; // 0 temperature levels need 0 measurements
+        int x = 1; // Level to test, never decreases as j grows
+        for (int j = 1; j < current.length; j++) {
+            // Move x up while testing one level higher gives a smaller worst case
+            while (x < j && Math.max(previous[x - 1], current[j - x]) > Math.max(previous[x], current[j - x - 1])) {
+                x++;
+            }
+            current[j] = 1 + Math.max(previous[x - 1], current[j - x]);
+        }
+    }
+
+    // Finds the same answer as findMinMeasurements for very large n (up to about 10^18).
+    // Instead of asking "how many measurements for j levels", it asks the reverse question:
+    // with m measurements and i samples, how many levels can be covered?
+    // reach[i] = reach[i - 1] (sample failed, levels below) + reach[i] (sample survived, levels above) + 1 (tested level)
+    // m is increased until reach[k] covers n. Only one row of k values is kept, so memory is O(k)
+    // and time is O(k * answer). Sums saturate at Long.MAX_VALUE instead of overflowing.
+    public static long findMinMeasurementsByReach(int k, long n) {
+        if (k < 1 || n < 0) {
+            throw new IllegalArgumentException("Need k >= 1 and n >= 0");
+        }
+        if (n == 0) return 0;
+        if (k == 1) return n; // One sample: every level has to be tested in order
+
+        // More than 63 samples never helps: 63 measurements already cover 2^63 - 1 levels
+        int samples = Math.min(k, 63);
+        long[] reach = new long[samples + 1]; // reach[i] for the current number of measurements
+        long measurements = 0;
+
+        while (reach[samples] < n) {
+            measurements++;
+            // Update from the largest sample count down so reach[i - 1] still holds the previous row
+            for (int i = samples; i >= 1; i--) {
+                reach[i] = saturatingAdd(saturatingAdd(reach[i - 1], reach[i]), 1);
+            }
+        }
+        return measurements;
+    }
+
+    // Returns the best level to test next when the critical level is known to lie in low..high
+    // (high + 1 meaning no level fails) and samplesLeft samples remain.
+    // The level is computed on demand instead of from a stored decision tree: with m measurements left,
+    // testing at low + reach(m - 1, samplesLeft - 1) leaves a failing branch that the remaining
+    // samples can still finish and a surviving branch that m - 1 measurements can still cover.
+    public static long nextLevel(int samplesLeft, long low, long high) {
+        if (samplesLeft < 1 || low > high) {
+            throw new IllegalArgumentException("Need at least one sample and a non-empty level range");
+        }
+        long measurements = minMeasurementsForRange(samplesLeft, high - low + 1);
+        return levelToTest(samplesLeft, low, high, measurements);
+    }
+
+    // Smallest m with reach(m, samples) >= levels, binary searched over the closed form in O(k log n)
+    private static long minMeasurementsForRange(int samples, long levels) {
+        long lo = 1, hi = levels; // levels measurements are always enough
+        while (lo < hi) {
+            long mid = lo + (hi - lo) / 2;
+            if (reach(mid, samples) >= levels) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    private static long levelToTest(int samplesLeft, long low, long high, long measurementsLeft) {
+        long below = reach(measurementsLeft - 1, samplesLeft - 1);
+        return (below >= high - low) ? high : low + below;
+    }
+
+    // Number of levels m measurements with i samples can cover: C(m, 1) + C(m, 2) + ... + C(m, i).
+    // Runs in O(i) time and saturates at Long.MAX_VALUE.
+    static long reach(long m, int samples) {
+        long total = 0, term = 1;
+        for (int i = 1; i <= samples && i <= m; i++) {
+            // C(m, i) = C(m, i - 1) * (m - i + 1) / i, the division is always exact.
+            // Divide out the common factor with term first so the multiplication only overflows
+            // when C(m, i) itself does.
+            long g = gcd(term, i);
+            long factor = (m - i + 1) / (i / g);
+            long reduced = term / g;
+            if (reduced > Long.MAX_VALUE / factor) return Long.MAX_VALUE;
+            term = reduced * factor;
+            total = saturatingAdd(total, term);
+            if (total == Long.MAX_VALUE) return total;
+        }
+        return total;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    // A test session that follows the optimal plan one measurement at a time.
+    // Each step costs O(k) because the number of measurements left is tracked instead of recomputed.
+    public static class MeasurementPlan {
+        private int samplesLeft;
+        private long low, high; // The critical level lies in low..high + 1
+        private long measurementsLeft;
+        private final List<Long> testedLevels = new ArrayList<>();
+
+        public MeasurementPlan(int samples, long low, long high) {
+            if (samples < 1 || (low > high && low - 1 != high)) {
+                throw new IllegalArgumentException("Need at least one sample and a valid level range");
+            }
+            this.samplesLeft = samples;
+            this.low = low;
+            this.high = high;
+            this.measurementsLeft = (low > high) ? 0 : minMeasurementsForRange(samples, high - low + 1);
+        }
+
+        // True once the critical level is known
+        public boolean isFinished() {
+            return low > high;
+        }
+
+        // Level to test next
+        public long nextLevel() {
+            if (isFinished()) throw new IllegalStateException("The critical level is already known");
+            return levelToTest(samplesLeft, low, high, measurementsLeft);
+        }
+
+        // Records the outcome of testing at nextLevel()
+        public void record(boolean failed) {
+            long level = nextLevel();
+            testedLevels.add(level);
+            measurementsLeft--;
+            if (failed) {
+                samplesLeft--; // The sample is used up, the critical level is at or below this one
+                high = level - 1;
+            } else {
+                low = level + 1; // The sample survived, the critical level is above this one
+            }
+        }
+
+        // Lowest level at which a sample fails (high + 1 of the original range if none fails)
+        public long criticalLevel() {
+            if (!isFinished()) throw new IllegalStateException("More measurements are needed");
+            return low;
+        }
+
+        public int samplesLeft() {
+            return samplesLeft;
+        }
+
+        public long measurementsLeft() {
+            return measurementsLeft;
+        }
+
+        public List<Long> testedLevels() {
+            return Collections.unmodifiableList(testedLevels);
+        }
+    }
+
+    // Replays a whole test session from its list of outcomes (true = sample failed)
+    public static MeasurementPlan replaySession(int samples, long low, long high, List<Boolean> outcomes) {
+        MeasurementPlan plan = new MeasurementPlan(samples, low, high);
+        for (boolean failed : outcomes) {
+            plan.record(failed);
+        }
+        return plan;
+    }
+
+    // Thread-safe query service for many (k, n) lookups.
+    // For each sample count it caches the coverage vector reach(1, k), reach(2, k), ... so a later
+    // query only needs a binary search over it. Vectors grow on demand up to the largest n asked for.
+    // The total number of cached values is bounded and the least recently used sample counts are evicted.
+    // Concurrent requests for the same k wait for the one thread that is extending its vector.
+    public static class MeasurementService {
+        // Coverage vector for one sample count; coverage[m - 1] = reach(m, samples)
+        private static class CoverageEntry {
+            final int samples;
+            long[] coverage = new long[16];
+            volatile int size;
+
+            CoverageEntry(int samples) {
+                this.samples = samples;
+            }
+        }
+
+        private final long maxCachedValues;
+        private final Map<Integer, CoverageEntry> cache = new LinkedHashMap<>(16, 0.75f, true); // Access order for LRU
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        public MeasurementService(long maxCachedValues) {
+            if (maxCachedValues < 1) {
+                throw new IllegalArgumentException("The cache must hold at least one value");
+            }
+            this.maxCachedValues = maxCachedValues;
+        }
+
+        // Same answer as findMinMeasurementsByReach(k, n)
+        public long minMeasurements(int k, long n) {
+            if (k < 1 || n < 0) {
+                throw new IllegalArgumentException("Need k >= 1 and n >= 0");
+            }
+            if (n == 0) return 0;
+            if (k == 1) return n; // One sample: every level has to be tested in order
+
+            int samples = Math.min(k, 63); // More than 63 samples never helps
+            CoverageEntry entry;
+            synchronized (cache) {
+                entry = cache.computeIfAbsent(samples, CoverageEntry::new);
+            }
+
+            long answer;
+            synchronized (entry) {
+                int size = entry.size;
+                if (size > 0 && entry.coverage[size - 1] >= n) {
+                    hits.incrementAndGet();
+                    return firstCovering(entry.coverage, size, n);
+                }
+                misses.incrementAndGet();
+                answer = extend(entry, n);
+            }
+            evict(samples);
+            return answer;
+        }
+
+        // Appends coverage values until n is covered or the vector would outgrow the whole cache
+        private long extend(CoverageEntry entry, long n) {
+            int size = entry.size;
+            while (size == 0 || entry.coverage[size - 1] < n) {
+                if (size >= maxCachedValues) {
+                    // Too large to cache: answer from the closed form without storing anything more
+                    return minMeasurementsForRange(entry.samples, n);
+                }
+                if (size == entry.coverage.length) {
+                    long grown = Math.min((long) size * 2, Math.min(maxCachedValues, Integer.MAX_VALUE - 8));
+                    entry.coverage = Arrays.copyOf(entry.coverage, (int) grown);
+                }
+                entry.coverage[size] = reach(size + 1, entry.samples);
+                size++;
+                entry.size = size;
+            }
+            return firstCovering(entry.coverage, size, n);
+        }
+
+        // Smallest m with coverage[m - 1] >= n
+        private static long firstCovering(long[] coverage, int size, long n) {
+            int lo = 0, hi = size - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (coverage[mid] >= n) {
+                    hi = mid;
+                } else {
+                    lo = mid + 1;
+                }
+            }
+            return lo + 1;
+        }
+
+        // Drops least recently used vectors until the cached values fit, keeping the one just used
+        private void evict(int keep) {
+            synchronized (cache) {
+                long total = 0;
+                for (CoverageEntry entry : cache.values()) {
+                    total += entry.size;
+                }
+                Iterator<CoverageEntry> eldestFirst = cache.values().iterator();
+                while (total > maxCachedValues && eldestFirst.hasNext()) {
+                    CoverageEntry entry = eldestFirst.next();
+                    if (entry.samples == keep) continue;
+                    total -= entry.size;
+                    eldestFirst.remove();
+                }
+            }
+        }
+
+        public long hits() {
+            return hits.get();
+        }
+
+        public long misses() {
+            return misses.get();
+        }
+
+        // Number of values currently held across all cached vectors
+        public long cachedValues() {
+            synchronized (cache) {
+                long total = 0;
+                for (CoverageEntry entry : cache.values()) {
+                    total += entry.size;
+                }
+                return total;
+            }
+        }
+    }
+
+    // Adds two non-negative values, clamping at Long.MAX_VALUE
+    private static long saturatingAdd(long a, long b) {
+        long sum = a + b;
+        return (sum < 0) ? Long.MAX_VALUE : sum;
+    }
+
     public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
 
@@ -52,10 +401,10 @@ public class CriticalTemperatureFinder {
         int k = scanner.nextInt();
 
         System.out.print("Enter the number of temperature levels (n): ");
-        int n = scanner.nextInt();
+        long n = scanner.nextLong();
 
         // Calculate and display the minimum number of measurements
-        int result = findMinMeasurements(k, n);
+        long result = findMinMeasurementsByReach(k, n);
         System.out.println("Minimum measurements required for k = " + k + ", n = " + n + ": " + result);
 
         // Close the scanner
